@@ -0,0 +1,114 @@
+package eventbus;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Registers the {@link Subscribe} methods of listener objects.
+ * Each listener class is scanned once; every method is turned into a {@link LambdaMetafactory} factory
+ * producing an {@link EventHandler} bound to a listener instance, so dispatching costs the same as a lambda.
+ */
+final class AnnotatedSubscribers {
+
+    private static final ClassValue<List<SubscriberMethod>> SUBSCRIBER_METHODS = new ClassValue<>() {
+        @Override
+        protected List<SubscriberMethod> computeValue(Class<?> listenerClass) {
+            return scan(listenerClass);
+        }
+    };
+
+    private AnnotatedSubscribers() {
+    }
+
+    static void register(EventBus eventBus, Object listener) {
+        var subscriberMethods = SUBSCRIBER_METHODS.get(listener.getClass());
+        if (subscriberMethods.isEmpty()) {
+            throw new IllegalArgumentException("No @Subscribe method found on " + listener.getClass());
+        }
+        for (SubscriberMethod subscriberMethod : subscriberMethods) {
+            eventBus.addSubscriber(subscriberMethod.eventType(), subscriberMethod.bindTo(listener));
+        }
+    }
+
+    private static List<SubscriberMethod> scan(Class<?> listenerClass) {
+        List<SubscriberMethod> subscriberMethods = new ArrayList<>();
+        Set<String> seenSignatures = new HashSet<>();
+        // subclasses first so that an overriding method wins over the one it overrides
+        for (Class<?> type = listenerClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(Subscribe.class) || method.isBridge() || method.isSynthetic()) {
+                    continue;
+                }
+                validate(method);
+                // private methods are never overridden, so they are not deduplicated
+                boolean overridable = !Modifier.isPrivate(method.getModifiers());
+                if (!overridable || seenSignatures.add(method.getName() + '(' + method.getParameterTypes()[0].getName() + ')')) {
+                    subscriberMethods.add(createSubscriberMethod(method));
+                }
+            }
+        }
+        return List.copyOf(subscriberMethods);
+    }
+
+    private static void validate(Method method) {
+        if (Modifier.isStatic(method.getModifiers())) {
+            throw new IllegalArgumentException("@Subscribe method must not be static: " + method);
+        }
+        if (method.getParameterCount() != 1) {
+            throw new IllegalArgumentException("@Subscribe method must have exactly one parameter: " + method);
+        }
+        if (method.getParameterTypes()[0].isPrimitive()) {
+            throw new IllegalArgumentException("@Subscribe method parameter must not be a primitive: " + method);
+        }
+        Class<?> eventType = method.getParameterTypes()[0];
+        if (eventType.isInterface() || Modifier.isAbstract(eventType.getModifiers())) {
+            // buses dispatch on the exact class of the event, such a handler would never be invoked
+            throw new IllegalArgumentException("@Subscribe method parameter must be a concrete class: " + method);
+        }
+        if (method.getReturnType() != void.class) {
+            throw new IllegalArgumentException("@Subscribe method must return void: " + method);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SubscriberMethod createSubscriberMethod(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        Class<Object> eventType = (Class<Object>) method.getParameterTypes()[0];
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    "handle",
+                    MethodType.methodType(EventHandler.class, declaringClass),
+                    MethodType.methodType(void.class, Object.class),
+                    lookup.unreflect(method),
+                    MethodType.methodType(void.class, eventType));
+            MethodHandle handlerFactory = callSite.getTarget().asType(MethodType.methodType(EventHandler.class, Object.class));
+            return new SubscriberMethod(eventType, handlerFactory);
+        } catch (IllegalAccessException | LambdaConversionException e) {
+            throw new IllegalArgumentException("Cannot bind @Subscribe method " + method, e);
+        }
+    }
+
+    private record SubscriberMethod(Class<Object> eventType, MethodHandle handlerFactory) {
+
+        @SuppressWarnings("unchecked")
+        EventHandler<Object> bindTo(Object listener) {
+            try {
+                return (EventHandler<Object>) handlerFactory.invokeExact(listener);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot bind @Subscribe method to " + listener, e);
+            }
+        }
+    }
+}
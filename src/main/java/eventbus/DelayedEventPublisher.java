@@ -0,0 +1,225 @@
+package eventbus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes events to an {@link EventBus} at a later time using a hashed timing wheel.
+ * Scheduling and cancelling are O(1): new events are handed to the wheel thread through a queue,
+ * and each wheel bucket is a doubly linked list whose entries carry the number of remaining rounds.
+ * On every tick the expired events of the current bucket are published as one batch.
+ * The wheel thread runs until {@link #close()} is called.
+ */
+public class DelayedEventPublisher implements AutoCloseable {
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final EventBus eventBus;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startNanos = System.nanoTime();
+    private final Queue<ScheduledEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final Queue<ScheduledEvent> cancelledEvents = new ConcurrentLinkedQueue<>();
+    private final ExecutorService wheelExecutorService = Executors.newSingleThreadExecutor();
+    private long tick;
+
+    public DelayedEventPublisher(EventBus eventBus, long tickMillis, int ticksPerWheel) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        if (ticksPerWheel <= 0 || Integer.bitCount(ticksPerWheel) != 1) {
+            throw new IllegalArgumentException("ticksPerWheel must be a positive power of two");
+        }
+        this.eventBus = eventBus;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.wheel = new Bucket[ticksPerWheel];
+        for (int i = 0; i < ticksPerWheel; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = ticksPerWheel - 1;
+
+        wheelExecutorService.submit(() -> {
+            while (waitForNextTick()) {
+                transferPendingEvents();
+                removeCancelledEvents();
+                publishExpiredEvents(wheel[(int) (tick & mask)]);
+                tick++;
+            }
+        });
+    }
+
+    public <T> ScheduledEvent publishEventAt(T e, long deadlineMillis) {
+        return publishEventAfter(e, saturatedAdd(deadlineMillis, -System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    public <T> ScheduledEvent publishEventAfter(T e, long delay, TimeUnit unit) {
+        Objects.requireNonNull(e);
+        if (wheelExecutorService.isShutdown()) {
+            throw new IllegalStateException("DelayedEventPublisher is closed");
+        }
+        // TimeUnit.toNanos already saturates, very large delays then never fire instead of wrapping around
+        long deadlineNanos = saturatedAdd(System.nanoTime() - startNanos, Math.max(0, unit.toNanos(delay)));
+        var scheduledEvent = new ScheduledEvent(this, e, deadlineNanos);
+        pendingEvents.add(scheduledEvent);
+        return scheduledEvent;
+    }
+
+    // stops the wheel thread, events not yet published are dropped
+    @Override
+    public void close() {
+        wheelExecutorService.shutdownNow();
+    }
+
+    // returns false when the wheel thread has been interrupted by close()
+    private boolean waitForNextTick() {
+        long tickDeadline = tickNanos * (tick + 1);
+        long sleepNanos;
+        while ((sleepNanos = tickDeadline - (System.nanoTime() - startNanos)) > 0) {
+            LockSupport.parkNanos(sleepNanos);
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        // overflow only happens when both operands have the same sign and the sum has the other one
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return sum;
+    }
+
+    private void transferPendingEvents() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            ScheduledEvent scheduledEvent = pendingEvents.poll();
+            if (scheduledEvent == null) {
+                return;
+            }
+            if (scheduledEvent.state.get() != ScheduledEvent.PENDING) {
+                continue;
+            }
+            long deadlineTick = scheduledEvent.deadlineNanos / tickNanos;
+            scheduledEvent.remainingRounds = (deadlineTick - tick) / wheel.length;
+            // events already overdue go to the current bucket
+            long targetTick = Math.max(deadlineTick, tick);
+            wheel[(int) (targetTick & mask)].add(scheduledEvent);
+        }
+    }
+
+    private void removeCancelledEvents() {
+        ScheduledEvent scheduledEvent;
+        while ((scheduledEvent = cancelledEvents.poll()) != null) {
+            if (scheduledEvent.bucket != null) {
+                scheduledEvent.bucket.remove(scheduledEvent);
+            }
+        }
+    }
+
+    private void publishExpiredEvents(Bucket bucket) {
+        List<Object> expiredEvents = new ArrayList<>();
+        ScheduledEvent scheduledEvent = bucket.head;
+        while (scheduledEvent != null) {
+            ScheduledEvent next = scheduledEvent.next;
+            if (scheduledEvent.remainingRounds <= 0) {
+                bucket.remove(scheduledEvent);
+                if (scheduledEvent.state.compareAndSet(ScheduledEvent.PENDING, ScheduledEvent.PUBLISHED)) {
+                    expiredEvents.add(scheduledEvent.event);
+                }
+            } else {
+                scheduledEvent.remainingRounds--;
+            }
+            scheduledEvent = next;
+        }
+        for (Object event : expiredEvents) {
+            try {
+                eventBus.publishEvent(event);
+            } catch (RuntimeException ex) {
+                Thread currentThread = Thread.currentThread();
+                currentThread.getUncaughtExceptionHandler().uncaughtException(currentThread, ex);
+            }
+        }
+    }
+
+    public static final class ScheduledEvent {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int PUBLISHED = 2;
+
+        private final DelayedEventPublisher publisher;
+        private final Object event;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        // only accessed from the wheel thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private ScheduledEvent previous;
+        private ScheduledEvent next;
+
+        private ScheduledEvent(DelayedEventPublisher publisher, Object event, long deadlineNanos) {
+            this.publisher = publisher;
+            this.event = event;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        // returns false if the event was already published or cancelled
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            publisher.cancelledEvents.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isPublished() {
+            return state.get() == PUBLISHED;
+        }
+    }
+
+    private static final class Bucket {
+        private ScheduledEvent head;
+        private ScheduledEvent tail;
+
+        void add(ScheduledEvent scheduledEvent) {
+            scheduledEvent.bucket = this;
+            if (head == null) {
+                head = tail = scheduledEvent;
+            } else {
+                tail.next = scheduledEvent;
+                scheduledEvent.previous = tail;
+                tail = scheduledEvent;
+            }
+        }
+
+        void remove(ScheduledEvent scheduledEvent) {
+            if (scheduledEvent.previous != null) {
+                scheduledEvent.previous.next = scheduledEvent.next;
+            } else {
+                head = scheduledEvent.next;
+            }
+            if (scheduledEvent.next != null) {
+                scheduledEvent.next.previous = scheduledEvent.previous;
+            } else {
+                tail = scheduledEvent.previous;
+            }
+            scheduledEvent.previous = null;
+            scheduledEvent.next = null;
+            scheduledEvent.bucket = null;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package eventbus;
 
+import throttler.Throttler;
+
 import java.util.function.Predicate;
 
 public interface EventBus {
@@ -9,4 +11,19 @@ public interface EventBus {
 
     <T> void addSubscriberForFilteredEvents(Class<T> classType, EventHandler<T> eventHandler, Predicate<T> filter);
 
+    // events over the throttler rate are conflated, only the latest one is delivered once allowed
+    default <T> void addThrottledSubscriber(Class<T> classType, EventHandler<T> eventHandler, Throttler throttler) {
+        addSubscriber(classType, ThrottledEventHandler.conflating(eventHandler, throttler));
+    }
+
+    // events over the throttler rate are queued up to maxQueuedEvents, dropping the oldest ones
+    default <T> void addThrottledSubscriber(Class<T> classType, EventHandler<T> eventHandler, Throttler throttler, int maxQueuedEvents) {
+        addSubscriber(classType, ThrottledEventHandler.queueing(eventHandler, throttler, maxQueuedEvents));
+    }
+
+    // subscribes every @Subscribe method of the listener, the listener class is scanned only once
+    default void addSubscribers(Object listener) {
+        AnnotatedSubscribers.register(this, listener);
+    }
+
 }
\ No newline at end of file
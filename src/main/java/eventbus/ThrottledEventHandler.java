@@ -0,0 +1,141 @@
+package eventbus;
+
+import throttler.CompletionAwareThrottler;
+import throttler.Throttler;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Handler delivering events to its delegate at the pace allowed by a {@link Throttler}.
+ * Events over the rate are either conflated, keeping only the latest one, or queued up to a bound
+ * (the oldest queued event is dropped when full). The backlog is drained through
+ * {@link Throttler#notifyWhenCanProceed}, so no publishing thread ever waits for the throttler.
+ * Once notified, the backlog is drained on the delivery executor for as long as the throttler allows,
+ * so a slow delegate never runs on, or blocks, the throttler's own thread.
+ * With a {@link CompletionAwareThrottler}, every delivery reports its outcome and latency to release its permit.
+ */
+public class ThrottledEventHandler<T> implements EventHandler<T> {
+
+    private static final Executor DEFAULT_DELIVERY_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final EventHandler<T> delegate;
+    private final Throttler throttler;
+    private final Executor deliveryExecutor;
+    private final AtomicReference<T> latestEvent;
+    private final Queue<T> queuedEvents;
+    // set while waiting for a permit or draining the backlog, new events then go to the backlog to keep ordering
+    private final AtomicBoolean backlogActive = new AtomicBoolean(false);
+
+    private ThrottledEventHandler(EventHandler<T> delegate, Throttler throttler, Executor deliveryExecutor, int maxQueuedEvents) {
+        this.delegate = delegate;
+        this.throttler = throttler;
+        this.deliveryExecutor = deliveryExecutor;
+        this.latestEvent = maxQueuedEvents == 0 ? new AtomicReference<>() : null;
+        this.queuedEvents = maxQueuedEvents == 0 ? null : new ArrayBlockingQueue<>(maxQueuedEvents);
+    }
+
+    public static <T> ThrottledEventHandler<T> conflating(EventHandler<T> delegate, Throttler throttler) {
+        return conflating(delegate, throttler, DEFAULT_DELIVERY_EXECUTOR);
+    }
+
+    public static <T> ThrottledEventHandler<T> conflating(EventHandler<T> delegate, Throttler throttler, Executor deliveryExecutor) {
+        return new ThrottledEventHandler<>(delegate, throttler, deliveryExecutor, 0);
+    }
+
+    public static <T> ThrottledEventHandler<T> queueing(EventHandler<T> delegate, Throttler throttler, int maxQueuedEvents) {
+        return queueing(delegate, throttler, DEFAULT_DELIVERY_EXECUTOR, maxQueuedEvents);
+    }
+
+    public static <T> ThrottledEventHandler<T> queueing(EventHandler<T> delegate, Throttler throttler, Executor deliveryExecutor, int maxQueuedEvents) {
+        if (maxQueuedEvents <= 0) {
+            throw new IllegalArgumentException("maxQueuedEvents must be positive");
+        }
+        return new ThrottledEventHandler<>(delegate, throttler, deliveryExecutor, maxQueuedEvents);
+    }
+
+    @Override
+    public void handle(T event) {
+        if (!backlogActive.get() && !hasBacklog() && throttler.shouldProceed() == Throttler.ThrottleResult.PROCEED) {
+            deliver(event);
+            return;
+        }
+        addToBacklog(event);
+        if (backlogActive.compareAndSet(false, true)) {
+            throttler.notifyWhenCanProceed(this::onPermit);
+        }
+    }
+
+    private void onPermit(Throttler.ThrottleResult result) {
+        deliveryExecutor.execute(() -> drainBacklog(result));
+    }
+
+    private void drainBacklog(Throttler.ThrottleResult result) {
+        if (result == Throttler.ThrottleResult.PROCEED) {
+            deliverNext();
+        }
+        while (hasBacklog() && throttler.shouldProceed() == Throttler.ThrottleResult.PROCEED) {
+            deliverNext();
+        }
+        if (hasBacklog()) {
+            throttler.notifyWhenCanProceed(this::onPermit);
+            return;
+        }
+        backlogActive.set(false);
+        // an event may have been added after the last check, it must not wait for a later publish
+        if (hasBacklog() && backlogActive.compareAndSet(false, true)) {
+            throttler.notifyWhenCanProceed(this::onPermit);
+        }
+    }
+
+    private void deliverNext() {
+        T event = pollBacklog();
+        if (event == null) {
+            return;
+        }
+        try {
+            deliver(event);
+        } catch (RuntimeException e) {
+            // a failing delegate must not stop the drain, the rest of the backlog would never be delivered
+            Thread currentThread = Thread.currentThread();
+            currentThread.getUncaughtExceptionHandler().uncaughtException(currentThread, e);
+        }
+    }
+
+    private void deliver(T event) {
+        if (!(throttler instanceof CompletionAwareThrottler completionAwareThrottler)) {
+            delegate.handle(event);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.handle(event);
+        } catch (RuntimeException e) {
+            completionAwareThrottler.onError();
+            throw e;
+        }
+        completionAwareThrottler.onSuccess(System.nanoTime() - start);
+    }
+
+    private boolean hasBacklog() {
+        return latestEvent != null ? latestEvent.get() != null : !queuedEvents.isEmpty();
+    }
+
+    private void addToBacklog(T event) {
+        if (latestEvent != null) {
+            latestEvent.set(event);
+            return;
+        }
+        while (!queuedEvents.offer(event)) {
+            queuedEvents.poll();
+        }
+    }
+
+    private T pollBacklog() {
+        return latestEvent != null ? latestEvent.getAndSet(null) : queuedEvents.poll();
+    }
+}
@@ -0,0 +1,151 @@
+package loadgen;
+
+import eventbus.EventBus;
+import eventbus.EventHandler;
+import throttler.RollingWindowBasedThrottler;
+import throttler.Throttler;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: events are sent on a precomputed schedule whatever the bus does,
+ * and latency is measured from the scheduled send time, so a stalled bus shows up in the percentiles
+ * instead of silently lowering the send rate (coordinated omission).
+ * <p>
+ * Run with {@code mvn compile exec:java -Dexec.args="--bus=multi --rate=20000 --duration=30000"}.
+ */
+public class LoadGenerator {
+    private static final long IN_FLIGHT_SAMPLING_MILLIS = 10;
+    private static final long DRAIN_TIMEOUT_MILLIS = 5_000;
+    private static final long DRAIN_IDLE_MILLIS = 200;
+
+    private final LoadGeneratorConfig config;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder handled = new LongAdder();
+    private final LongAdder checksum = new LongAdder();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong maxInFlight = new AtomicLong();
+    private final LongAdder inFlightSum = new LongAdder();
+    private final LongAdder inFlightSamples = new LongAdder();
+
+    public LoadGenerator(LoadGeneratorConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) {
+        var report = new LoadGenerator(LoadGeneratorConfig.parse(args)).run();
+        report.print(System.out);
+        // bus and throttler threads are never shut down
+        System.exit(0);
+    }
+
+    public LoadReport run() {
+        EventBus eventBus = config.busType().create(config.threads());
+        Throttler throttler = config.throttleMaxPerSecond() > 0
+                ? new RollingWindowBasedThrottler(config.throttleMaxPerSecond(), 1000)
+                : null;
+        EventHandler<SyntheticEvent> handler = this::handle;
+        for (int i = 0; i < config.eventTypes().size(); i++) {
+            int type = config.eventTypes().numberAt(i);
+            eventBus.addSubscriberForFilteredEvents(SyntheticEvent.class, handler, e -> e.type() == type);
+        }
+
+        ScheduledExecutorService samplerService = Executors.newSingleThreadScheduledExecutor();
+        // a conflating bus never handles the conflated events, published - handled is then not a depth
+        if (!config.busType().isConflating()) {
+            samplerService.scheduleAtFixedRate(this::sampleInFlight, 0, IN_FLIGHT_SAMPLING_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        long allocatedBefore = totalAllocatedBytes();
+        long gcCountBefore = totalGcCount();
+
+        long start = System.nanoTime();
+        long rejected = produce(eventBus, throttler, start);
+        long durationNanos = System.nanoTime() - start;
+        awaitDrain();
+
+        samplerService.shutdownNow();
+        return new LoadReport(config.busType().isConflating(), durationNanos, published.get(), rejected, handled.sum(), latencies,
+                maxInFlight.get(), inFlightSamples.sum() == 0 ? 0 : inFlightSum.sum() / (double) inFlightSamples.sum(),
+                totalAllocatedBytes() - allocatedBefore, totalGcCount() - gcCountBefore);
+    }
+
+    private long produce(EventBus eventBus, Throttler throttler, long start) {
+        long end = start + TimeUnit.MILLISECONDS.toNanos(config.durationMillis());
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) config.targetRatePerSecond();
+        long rejected = 0;
+        long intendedStart = start;
+        // bounded by the wall clock too: a producer behind schedule stops at the end of the run
+        while (intendedStart < end && System.nanoTime() < end) {
+            // when behind schedule we send immediately instead of skipping, keeping the load open-loop
+            long waitNanos;
+            while ((waitNanos = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            if (throttler != null && throttler.shouldProceed() == Throttler.ThrottleResult.DO_NOT_PROCEED) {
+                rejected++;
+            } else {
+                var event = new SyntheticEvent(config.eventTypes().nextFromSample(),
+                        new byte[config.payloadSizes().nextFromSample()], intendedStart);
+                published.incrementAndGet();
+                eventBus.publishEvent(event);
+            }
+            intendedStart += Math.max(1, (long) (meanIntervalNanos * config.interArrivalPercents().nextFromSample() / 100));
+        }
+        return rejected;
+    }
+
+    private void handle(SyntheticEvent event) {
+        long sum = 0;
+        for (byte b : event.payload()) {
+            sum += b;
+        }
+        checksum.add(sum);
+        latencies.record(System.nanoTime() - event.intendedStartNanos());
+        handled.increment();
+    }
+
+    // conflating buses may never handle every published event, so wait until handling stops progressing
+    private void awaitDrain() {
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MILLIS;
+        long lastHandled = -1;
+        while (System.currentTimeMillis() < deadline) {
+            long currentHandled = handled.sum();
+            if (currentHandled == published.get() || currentHandled == lastHandled) {
+                return;
+            }
+            lastHandled = currentHandled;
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(DRAIN_IDLE_MILLIS));
+        }
+    }
+
+    private void sampleInFlight() {
+        long depth = Math.max(0, published.get() - handled.sum());
+        maxInFlight.accumulateAndGet(depth, Math::max);
+        inFlightSum.add(depth);
+        inFlightSamples.increment();
+    }
+
+    private static long totalAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+                && threadMXBean.isThreadAllocatedMemorySupported()
+                && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return threadMXBean.getTotalThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    private static long totalGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, garbageCollector.getCollectionCount());
+        }
+        return count;
+    }
+}
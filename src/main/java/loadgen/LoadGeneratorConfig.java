@@ -0,0 +1,106 @@
+package loadgen;
+
+import eventbus.EventBus;
+import eventbus.MultiThreadedConflationEventBus;
+import eventbus.MultiThreadedEventBus;
+import eventbus.SingleThreadedEventBus;
+import probability.PrefixSumProbabilisticRandomGen;
+import probability.PrefixSumProbabilisticRandomGenBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load generator settings, parsed from {@code --key=value} arguments.
+ * Distributions are written as {@code value:weight} pairs separated by commas,
+ * inter-arrival values are percentages of the mean interval given by the target rate.
+ */
+public record LoadGeneratorConfig(BusType busType,
+                                  int threads,
+                                  int targetRatePerSecond,
+                                  long durationMillis,
+                                  int throttleMaxPerSecond,
+                                  PrefixSumProbabilisticRandomGen eventTypes,
+                                  PrefixSumProbabilisticRandomGen payloadSizes,
+                                  PrefixSumProbabilisticRandomGen interArrivalPercents) {
+
+    public LoadGeneratorConfig {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        if (targetRatePerSecond <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (durationMillis <= 0) {
+            throw new IllegalArgumentException("duration must be positive");
+        }
+        if (throttleMaxPerSecond < 0) {
+            throw new IllegalArgumentException("throttle must not be negative");
+        }
+        if (minDrawableValue(payloadSizes) < 0) {
+            throw new IllegalArgumentException("sizes must not be negative");
+        }
+        // a zero or negative inter-arrival would never move the schedule forward
+        if (minDrawableValue(interArrivalPercents) <= 0) {
+            throw new IllegalArgumentException("interarrival values must be positive");
+        }
+    }
+
+    public enum BusType {
+        SINGLE, MULTI, CONFLATION;
+
+        public EventBus create(int threads) {
+            return switch (this) {
+                case SINGLE -> new SingleThreadedEventBus();
+                case MULTI -> new MultiThreadedEventBus(threads);
+                case CONFLATION -> new MultiThreadedConflationEventBus(threads);
+            };
+        }
+
+        public boolean isConflating() {
+            return this == CONFLATION;
+        }
+    }
+
+    public static LoadGeneratorConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadGeneratorConfig(
+                BusType.valueOf(options.getOrDefault("bus", "multi").toUpperCase()),
+                Integer.parseInt(options.getOrDefault("threads", "4")),
+                Integer.parseInt(options.getOrDefault("rate", "10000")),
+                Long.parseLong(options.getOrDefault("duration", "10000")),
+                Integer.parseInt(options.getOrDefault("throttle", "0")),
+                parseDistribution(options.getOrDefault("types", "1:0.5,2:0.3,3:0.2")),
+                parseDistribution(options.getOrDefault("sizes", "64:0.7,512:0.2,4096:0.1")),
+                parseDistribution(options.getOrDefault("interarrival", "50:0.25,100:0.5,150:0.25")));
+    }
+
+    private static int minDrawableValue(PrefixSumProbabilisticRandomGen distribution) {
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < distribution.size(); i++) {
+            if (distribution.probabilityOf(i) > 0) {
+                min = Math.min(min, distribution.numberAt(i));
+            }
+        }
+        return min;
+    }
+
+    static PrefixSumProbabilisticRandomGen parseDistribution(String distribution) {
+        var builder = new PrefixSumProbabilisticRandomGenBuilder();
+        for (String pair : distribution.split(",")) {
+            String[] valueAndWeight = pair.split(":");
+            if (valueAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected value:weight but got " + pair);
+            }
+            builder.add(Integer.parseInt(valueAndWeight[0].trim()), Double.parseDouble(valueAndWeight[1].trim()));
+        }
+        return builder.build();
+    }
+}
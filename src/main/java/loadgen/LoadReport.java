@@ -0,0 +1,39 @@
+package loadgen;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+// in-flight (published but not yet handled) figures are only sampled on non conflating buses
+public record LoadReport(boolean conflatingBus,
+                         long durationNanos,
+                         long published,
+                         long rejected,
+                         long handled,
+                         LatencyHistogram latencies,
+                         long maxInFlight,
+                         double meanInFlight,
+                         long allocatedBytes,
+                         long gcCount) {
+
+    public double throughputPerSecond() {
+        return handled / (durationNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public void print(PrintStream out) {
+        out.printf("duration            %.2f s%n", durationNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        out.printf("published           %d%n", published);
+        out.printf("rejected (throttle) %d%n", rejected);
+        out.printf("handled             %d (%d %s)%n", handled, published - handled, conflatingBus ? "conflated" : "unhandled");
+        out.printf("throughput          %.1f events/s%n", throughputPerSecond());
+        for (double percentile : new double[]{50, 90, 99, 99.9, 99.99}) {
+            out.printf("latency p%-6s     %.1f us%n", percentile, latencies.getValueAtPercentile(percentile) / 1_000.0);
+        }
+        out.printf("latency max         %.1f us%n", latencies.getMaxValue() / 1_000.0);
+        if (conflatingBus) {
+            out.printf("in-flight           n/a on a conflating bus%n");
+        } else {
+            out.printf("in-flight           max %d, mean %.1f%n", maxInFlight, meanInFlight);
+        }
+        out.printf("allocated           %.1f MB (%d GCs)%n", allocatedBytes / (1024.0 * 1024.0), gcCount);
+    }
+}
@@ -0,0 +1,6 @@
+package loadgen;
+
+// intendedStartNanos is when the schedule wanted the event sent, latency is measured from it
+public record SyntheticEvent(int type, byte[] payload, long intendedStartNanos) {
+
+}
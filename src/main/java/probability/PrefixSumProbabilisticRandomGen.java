@@ -0,0 +1,180 @@
+package probability;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Sampler over primitive arrays of numbers and cumulative weights, built for very large distributions.
+ * The cumulative weights are computed in double precision with a parallel prefix scan,
+ * and sampling is a binary search on them.
+ * Use {@link PrefixSumProbabilisticRandomGenBuilder} to load the weights from files,
+ * and {@link #save(Path)} / {@link #load(Path)} to keep a built sampler on disk.
+ */
+public class PrefixSumProbabilisticRandomGen implements ProbabilisticRandomGen {
+
+    private static final int FILE_MAGIC = 0x50534731; // "PSG1"
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private final int[] numbers;
+    private final double[] cumulativeWeights;
+    private final double totalWeight;
+    private final Random random = new Random();
+
+    // takes ownership of both arrays, weights are turned into cumulative weights in place
+    PrefixSumProbabilisticRandomGen(int[] numbers, double[] weights) {
+        if (numbers.length != weights.length) {
+            throw new IllegalArgumentException("Numbers and weights must have the same length");
+        }
+        if (numbers.length == 0) {
+            throw new IllegalArgumentException("Distribution must not be empty");
+        }
+        boolean invalidWeight = IntStream.range(0, weights.length).parallel()
+                .anyMatch(i -> !(weights[i] >= 0) || Double.isInfinite(weights[i]));
+        if (invalidWeight) {
+            throw new IllegalArgumentException("Weights must be finite and non negative");
+        }
+        Arrays.parallelPrefix(weights, Double::sum);
+        this.numbers = numbers;
+        this.cumulativeWeights = weights;
+        this.totalWeight = weights[weights.length - 1];
+        if (!(totalWeight > 0) || Double.isInfinite(totalWeight)) {
+            throw new IllegalArgumentException("Weights must sum to a positive finite value");
+        }
+    }
+
+    private PrefixSumProbabilisticRandomGen(int[] numbers, double[] cumulativeWeights, double totalWeight) {
+        this.numbers = numbers;
+        this.cumulativeWeights = cumulativeWeights;
+        this.totalWeight = totalWeight;
+    }
+
+    @Override
+    public int nextFromSample() {
+        double rand = random.nextDouble() * totalWeight;
+        // first index whose cumulative weight is strictly greater, so zero weights are never drawn
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulativeWeights[mid] > rand) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return numbers[low];
+    }
+
+    public int size() {
+        return numbers.length;
+    }
+
+    public double probabilityOf(int index) {
+        double previous = index == 0 ? 0 : cumulativeWeights[index - 1];
+        return (cumulativeWeights[index] - previous) / totalWeight;
+    }
+
+    public int numberAt(int index) {
+        return numbers[index];
+    }
+
+    // layout: magic, count, count ints, count doubles (cumulative weights), all big endian
+    public void save(Path path) {
+        long fileSize = HEADER_BYTES + (long) numbers.length * (Integer.BYTES + Double.BYTES);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(FILE_MAGIC).putInt(numbers.length).flip();
+            channel.write(header, 0);
+            long position = HEADER_BYTES;
+            position = writeInts(channel, position, numbers);
+            position = writeDoubles(channel, position, cumulativeWeights);
+            if (position != fileSize) {
+                throw new IllegalStateException("Unexpected file size " + position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static PrefixSumProbabilisticRandomGen load(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != FILE_MAGIC) {
+                throw new IllegalArgumentException("Not a sampler file: " + path);
+            }
+            int count = header.getInt();
+            if (count <= 0 || channel.size() != HEADER_BYTES + (long) count * (Integer.BYTES + Double.BYTES)) {
+                throw new IllegalArgumentException("Corrupted sampler file: " + path);
+            }
+            int[] numbers = new int[count];
+            double[] cumulativeWeights = new double[count];
+            long position = readInts(channel, HEADER_BYTES, numbers);
+            readDoubles(channel, position, cumulativeWeights);
+            return new PrefixSumProbabilisticRandomGen(numbers, cumulativeWeights, cumulativeWeights[count - 1]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long writeInts(FileChannel channel, long position, int[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            int length = Math.min(values.length - offset, maxElementsPerMapping(Integer.BYTES));
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, (long) length * Integer.BYTES);
+            buffer.asIntBuffer().put(values, offset, length);
+            offset += length;
+            position += (long) length * Integer.BYTES;
+        }
+        return position;
+    }
+
+    private static long writeDoubles(FileChannel channel, long position, double[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            int length = Math.min(values.length - offset, maxElementsPerMapping(Double.BYTES));
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, (long) length * Double.BYTES);
+            buffer.asDoubleBuffer().put(values, offset, length);
+            offset += length;
+            position += (long) length * Double.BYTES;
+        }
+        return position;
+    }
+
+    private static long readInts(FileChannel channel, long position, int[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            int length = Math.min(values.length - offset, maxElementsPerMapping(Integer.BYTES));
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) length * Integer.BYTES);
+            buffer.asIntBuffer().get(values, offset, length);
+            offset += length;
+            position += (long) length * Integer.BYTES;
+        }
+        return position;
+    }
+
+    private static long readDoubles(FileChannel channel, long position, double[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            int length = Math.min(values.length - offset, maxElementsPerMapping(Double.BYTES));
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) length * Double.BYTES);
+            buffer.asDoubleBuffer().get(values, offset, length);
+            offset += length;
+            position += (long) length * Double.BYTES;
+        }
+        return position;
+    }
+
+    private static int maxElementsPerMapping(int elementBytes) {
+        return Integer.MAX_VALUE / elementBytes;
+    }
+}
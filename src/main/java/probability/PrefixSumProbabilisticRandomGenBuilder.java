@@ -0,0 +1,108 @@
+package probability;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Accumulates numbers and weights into growable primitive arrays, from code or streamed from files:
+ * <ul>
+ *     <li>CSV, one {@code number,weight} pair per line, blank lines and lines starting with # are skipped</li>
+ *     <li>binary, memory mapped, a sequence of big endian {@code int number, double weight} records</li>
+ * </ul>
+ * Weights do not need to be normalized, they are divided by their sum when sampling.
+ */
+public class PrefixSumProbabilisticRandomGenBuilder {
+
+    private static final int BINARY_RECORD_BYTES = Integer.BYTES + Double.BYTES;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int[] numbers = new int[INITIAL_CAPACITY];
+    private double[] weights = new double[INITIAL_CAPACITY];
+    private int size;
+
+    public PrefixSumProbabilisticRandomGenBuilder add(int number, double weight) {
+        if (size == numbers.length) {
+            grow(size + 1);
+        }
+        numbers[size] = number;
+        weights[size] = weight;
+        size++;
+        return this;
+    }
+
+    public PrefixSumProbabilisticRandomGenBuilder addCsv(Path path) {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                int separator = line.indexOf(',');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Missing separator at line " + lineNumber + " of " + path);
+                }
+                try {
+                    add(Integer.parseInt(line.substring(0, separator).trim()),
+                            Double.parseDouble(line.substring(separator + 1).trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid number at line " + lineNumber + " of " + path, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    public PrefixSumProbabilisticRandomGenBuilder addBinary(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize % BINARY_RECORD_BYTES != 0) {
+                throw new IllegalArgumentException("File size is not a multiple of " + BINARY_RECORD_BYTES + ": " + path);
+            }
+            long records = fileSize / BINARY_RECORD_BYTES;
+            if (size + records > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Too many records in " + path);
+            }
+            grow((int) (size + records));
+            long maxRecordsPerMapping = Integer.MAX_VALUE / BINARY_RECORD_BYTES;
+            long position = 0;
+            while (position < fileSize) {
+                long length = Math.min(fileSize - position, maxRecordsPerMapping * BINARY_RECORD_BYTES);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                while (buffer.hasRemaining()) {
+                    numbers[size] = buffer.getInt();
+                    weights[size] = buffer.getDouble();
+                    size++;
+                }
+                position += length;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    public PrefixSumProbabilisticRandomGen build() {
+        return new PrefixSumProbabilisticRandomGen(Arrays.copyOf(numbers, size), Arrays.copyOf(weights, size));
+    }
+
+    private void grow(int minCapacity) {
+        if (minCapacity <= numbers.length) {
+            return;
+        }
+        int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(minCapacity, numbers.length * 2L));
+        numbers = Arrays.copyOf(numbers, newCapacity);
+        weights = Arrays.copyOf(weights, newCapacity);
+    }
+}
@@ -0,0 +1,144 @@
+package throttler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Throttler bounding the number of requests in flight with a limit adjusted by AIMD:
+ * the limit grows by one when a request completes quickly while the limit is being used,
+ * and is multiplied by backoffRatio when a request fails or its latency exceeds
+ * latencyTolerance times the baseline latency.
+ * The baseline is the lowest latency of the current and previous windows of BASELINE_WINDOW_SAMPLES completions,
+ * so an unusually fast sample (cache hit, warm-up) only skews it for a bounded number of completions.
+ * The limit backs off at most once per round trip: after a decrease, the requests that were in flight
+ * complete without further decrease, so one downstream hiccup slowing all of them costs a single backoff.
+ * Every PROCEED, polled or pushed, must be followed by a call to {@link #onSuccess(long)} or {@link #onError()}.
+ */
+public class AdaptiveConcurrencyThrottler implements CompletionAwareThrottler {
+    private static final double DEFAULT_BACKOFF_RATIO = 0.9;
+    private static final double DEFAULT_LATENCY_TOLERANCE = 2.0;
+    private static final int BASELINE_WINDOW_SAMPLES = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong completions = new AtomicLong();
+    private final AtomicLong nextBackoffCompletion = new AtomicLong();
+    private final AtomicLong currentWindowMinLatencyNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong previousWindowMinLatencyNanos = new AtomicLong(Long.MAX_VALUE);
+    private final Queue<Consumer<ThrottleResult>> subscriberQueue = new ConcurrentLinkedQueue<>();
+
+    public AdaptiveConcurrencyThrottler(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, DEFAULT_BACKOFF_RATIO, DEFAULT_LATENCY_TOLERANCE);
+    }
+
+    public AdaptiveConcurrencyThrottler(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double latencyTolerance) {
+        if (minLimit <= 0 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 0 < minLimit <= initialLimit <= maxLimit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        if (latencyTolerance <= 1) {
+            throw new IllegalArgumentException("Latency tolerance must be greater than 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = new AtomicInteger(initialLimit);
+    }
+
+    @Override
+    public ThrottleResult shouldProceed() {
+        return tryAcquire() ? ThrottleResult.PROCEED : ThrottleResult.DO_NOT_PROCEED;
+    }
+
+    @Override
+    public void notifyWhenCanProceed(Consumer<ThrottleResult> callback) {
+        subscriberQueue.add(callback);
+        notifySubscribers();
+    }
+
+    @Override
+    public void onSuccess(long latencyNanos) {
+        int currentInFlight = release();
+        long completion = completions.incrementAndGet();
+        long baselineLatency = updateBaselineLatency(latencyNanos, completion);
+        if (latencyNanos > baselineLatency * latencyTolerance) {
+            decreaseLimit(completion, currentInFlight);
+        } else if (currentInFlight * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+        notifySubscribers();
+    }
+
+    @Override
+    public void onError() {
+        int currentInFlight = release();
+        decreaseLimit(completions.incrementAndGet(), currentInFlight);
+        notifySubscribers();
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    // returns the number of requests in flight before this one completed
+    private int release() {
+        int previous = inFlight.getAndUpdate(current -> current > 0 ? current - 1 : current);
+        if (previous == 0) {
+            throw new IllegalStateException("Completion reported without a matching PROCEED");
+        }
+        return previous;
+    }
+
+    private long updateBaselineLatency(long latencyNanos, long completion) {
+        long currentWindowMin = currentWindowMinLatencyNanos.accumulateAndGet(latencyNanos, Math::min);
+        long baselineLatency = Math.min(currentWindowMin, previousWindowMinLatencyNanos.get());
+        if (completion % BASELINE_WINDOW_SAMPLES == 0) {
+            previousWindowMinLatencyNanos.set(currentWindowMinLatencyNanos.getAndSet(Long.MAX_VALUE));
+        }
+        return baselineLatency;
+    }
+
+    // requests in flight at the time of a decrease must complete before the next one
+    private void decreaseLimit(long completion, int currentInFlight) {
+        long next = nextBackoffCompletion.get();
+        if (completion >= next && nextBackoffCompletion.compareAndSet(next, completion + currentInFlight)) {
+            limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+        }
+    }
+
+    private void notifySubscribers() {
+        while (!subscriberQueue.isEmpty() && tryAcquire()) {
+            Consumer<ThrottleResult> nextSubscriber = subscriberQueue.poll();
+            if (nextSubscriber == null) {
+                inFlight.getAndDecrement();
+                return;
+            }
+            nextSubscriber.accept(ThrottleResult.PROCEED);
+        }
+    }
+}
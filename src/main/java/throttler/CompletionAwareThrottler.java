@@ -0,0 +1,9 @@
+package throttler;
+
+// throttler whose PROCEED must be released once the work completes, with either onSuccess or onError
+public interface CompletionAwareThrottler extends Throttler {
+
+    void onSuccess(long latencyNanos);
+
+    void onError();
+}
@@ -0,0 +1,188 @@
+package throttler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Throttler spending permits leased in blocks from a shared {@link QuotaCoordinator}.
+ * The hot path only touches local atomics, the coordinator is called from a background thread.
+ * The lease size follows the demand observed on this node between two renewals.
+ * Permits are tracked per lease: those of an expired lease are discarded, unexpired leftovers are kept
+ * and spent first, whatever the expiry policy of the coordinator. A renewal is scheduled at each lease expiry.
+ * Once the coordinator grants less than requested, early renewals stop until that lease expires
+ * or the next scheduled renewal, instead of calling the coordinator on every refused request.
+ */
+public class LeasedQuotaThrottler implements Throttler {
+    private static final double DEMAND_SMOOTHING = 0.5;
+
+    private final QuotaCoordinator coordinator;
+    private final int minLeaseSize;
+    private final int maxLeaseSize;
+    private final LongAdder demand = new LongAdder();
+    private final AtomicBoolean renewalPending = new AtomicBoolean(false);
+    private final Queue<Consumer<ThrottleResult>> subscriberQueue = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService leaseService = Executors.newSingleThreadScheduledExecutor();
+    // unexpired leases ordered by expiry, replaced (never mutated) by the lease thread
+    private volatile List<LeasedPermits> leases = List.of();
+    // only read and written from the lease thread
+    private double smoothedDemand;
+    private volatile int leaseSize;
+    private volatile long quotaExhaustedUntilMillis;
+
+    public LeasedQuotaThrottler(QuotaCoordinator coordinator, int minLeaseSize, int maxLeaseSize, long leaseIntervalMillis) {
+        if (minLeaseSize <= 0 || maxLeaseSize < minLeaseSize) {
+            throw new IllegalArgumentException("Lease sizes must satisfy 0 < minLeaseSize <= maxLeaseSize");
+        }
+        this.coordinator = coordinator;
+        this.minLeaseSize = minLeaseSize;
+        this.maxLeaseSize = maxLeaseSize;
+        this.leaseSize = minLeaseSize;
+        this.smoothedDemand = minLeaseSize;
+        topUp();
+        leaseService.scheduleAtFixedRate(this::renewLease, leaseIntervalMillis, leaseIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ThrottleResult shouldProceed() {
+        demand.increment();
+        if (tryAcquire() != null) {
+            if (availablePermits(System.currentTimeMillis()) <= leaseSize / 4) {
+                requestEarlyRenewal();
+            }
+            return ThrottleResult.PROCEED;
+        }
+        requestEarlyRenewal();
+        return ThrottleResult.DO_NOT_PROCEED;
+    }
+
+    @Override
+    public void notifyWhenCanProceed(Consumer<ThrottleResult> callback) {
+        demand.increment();
+        subscriberQueue.add(callback);
+        leaseService.execute(() -> {
+            notifySubscribers();
+            if (!subscriberQueue.isEmpty()) {
+                requestEarlyRenewal();
+            }
+        });
+    }
+
+    int getLeaseSize() {
+        return leaseSize;
+    }
+
+    // returns the lease the permit was taken from, null when no unexpired permit is left
+    private LeasedPermits tryAcquire() {
+        long now = System.currentTimeMillis();
+        for (LeasedPermits lease : leases) {
+            if (now < lease.expiresAtMillis() && lease.tryAcquire()) {
+                return lease;
+            }
+        }
+        return null;
+    }
+
+    private int availablePermits(long now) {
+        int available = 0;
+        for (LeasedPermits lease : leases) {
+            if (now < lease.expiresAtMillis()) {
+                available += Math.max(0, lease.permits().get());
+            }
+        }
+        return available;
+    }
+
+    private void requestEarlyRenewal() {
+        if (System.currentTimeMillis() < quotaExhaustedUntilMillis) {
+            return;
+        }
+        if (renewalPending.compareAndSet(false, true)) {
+            leaseService.execute(() -> {
+                topUp();
+                renewalPending.set(false);
+            });
+        }
+    }
+
+    private void renewLease() {
+        long observedDemand = demand.sumThenReset();
+        smoothedDemand = DEMAND_SMOOTHING * observedDemand + (1 - DEMAND_SMOOTHING) * smoothedDemand;
+        leaseSize = (int) Math.clamp(Math.ceil(smoothedDemand), minLeaseSize, maxLeaseSize);
+        quotaExhaustedUntilMillis = 0;
+        topUp();
+    }
+
+    private void topUp() {
+        long now = System.currentTimeMillis();
+        List<LeasedPermits> unexpiredLeases = new ArrayList<>();
+        for (LeasedPermits lease : leases) {
+            if (now < lease.expiresAtMillis()) {
+                unexpiredLeases.add(lease);
+            }
+        }
+        int missing = leaseSize - availablePermits(now);
+        if (missing > 0) {
+            QuotaCoordinator.Lease granted = coordinator.lease(missing);
+            if (granted.expiresAtMillis() > now) {
+                if (granted.permits() > 0) {
+                    addLease(unexpiredLeases, granted);
+                }
+                // renew as soon as this lease, or the exhausted quota it reports, expires
+                leaseService.schedule(this::topUp, granted.expiresAtMillis() - now, TimeUnit.MILLISECONDS);
+            }
+            quotaExhaustedUntilMillis = granted.permits() < missing ? granted.expiresAtMillis() : 0;
+        }
+        leases = List.copyOf(unexpiredLeases);
+        notifySubscribers();
+    }
+
+    private static void addLease(List<LeasedPermits> unexpiredLeases, QuotaCoordinator.Lease granted) {
+        for (int i = 0; i < unexpiredLeases.size(); i++) {
+            LeasedPermits lease = unexpiredLeases.get(i);
+            if (lease.expiresAtMillis() == granted.expiresAtMillis()) {
+                lease.permits().addAndGet(granted.permits());
+                return;
+            }
+            if (lease.expiresAtMillis() > granted.expiresAtMillis()) {
+                unexpiredLeases.add(i, new LeasedPermits(granted.expiresAtMillis(), new AtomicInteger(granted.permits())));
+                return;
+            }
+        }
+        unexpiredLeases.add(new LeasedPermits(granted.expiresAtMillis(), new AtomicInteger(granted.permits())));
+    }
+
+    private void notifySubscribers() {
+        LeasedPermits lease;
+        while (!subscriberQueue.isEmpty() && (lease = tryAcquire()) != null) {
+            Consumer<ThrottleResult> nextSubscriber = subscriberQueue.poll();
+            if (nextSubscriber == null) {
+                lease.permits().incrementAndGet();
+                return;
+            }
+            nextSubscriber.accept(ThrottleResult.PROCEED);
+        }
+    }
+
+    private record LeasedPermits(long expiresAtMillis, AtomicInteger permits) {
+
+        boolean tryAcquire() {
+            int available;
+            do {
+                available = permits.get();
+                if (available <= 0) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(available, available - 1));
+            return true;
+        }
+    }
+}
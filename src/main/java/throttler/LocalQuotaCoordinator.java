@@ -0,0 +1,38 @@
+package throttler;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process coordinator handing out at most maxRequests permits per fixed time window,
+ * shared by every {@link LeasedQuotaThrottler} pointing to it. Leases expire with the window they were granted in.
+ */
+public class LocalQuotaCoordinator implements QuotaCoordinator {
+    private final int maxRequests;
+    private final long timeWindowMillis;
+    private final Lock lock = new ReentrantLock();
+    private long windowStart = System.currentTimeMillis();
+    private int grantedInWindow;
+
+    public LocalQuotaCoordinator(int maxRequests, long timeWindowMillis) {
+        this.maxRequests = maxRequests;
+        this.timeWindowMillis = timeWindowMillis;
+    }
+
+    @Override
+    public Lease lease(int requestedPermits) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            if (now - windowStart >= timeWindowMillis) {
+                windowStart = now;
+                grantedInWindow = 0;
+            }
+            int granted = Math.clamp(requestedPermits, 0, maxRequests - grantedInWindow);
+            grantedInWindow += granted;
+            return new Lease(granted, windowStart + timeWindowMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package throttler;
+
+public interface QuotaCoordinator {
+
+    // lease up to requestedPermits from the global quota, the granted permits can only be spent until the lease expires
+    Lease lease(int requestedPermits);
+
+    record Lease(int permits, long expiresAtMillis) {
+
+    }
+}
@@ -1,7 +1,9 @@
 package throttler;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -23,7 +25,6 @@ public class RollingWindowBasedThrottler implements Throttler {
     public RollingWindowBasedThrottler(int maxRequests, long timeWindowMillis) {
         this.maxRequests = maxRequests;
         this.timeWindowMillis = timeWindowMillis;
-        startNotifierTask();
     }
 
     @Override
@@ -45,7 +46,12 @@ public class RollingWindowBasedThrottler implements Throttler {
 
     @Override
     public void notifyWhenCanProceed(Consumer<ThrottleResult> callback) {
-        subscriberQueue.addLast(callback);
+        lock.lock();
+        try {
+            subscriberQueue.addLast(callback);
+        } finally {
+            lock.unlock();
+        }
         if (notifierStarted.compareAndSet(false, true)) {
             startNotifierTask();
         }
@@ -57,22 +63,23 @@ public class RollingWindowBasedThrottler implements Throttler {
         }
     }
 
+    // started once, on the first push subscriber; a permit is only taken for a subscriber actually notified
     private void startNotifierTask() {
         notifierService.scheduleAtFixedRate(() -> {
             long now = System.currentTimeMillis();
+            List<Consumer<ThrottleResult>> subscribersToNotify = new ArrayList<>();
             lock.lock();
             try {
                 cleanUpOldRequests(now);
-                if (timestamps.size() < maxRequests) {
+                while (timestamps.size() < maxRequests && !subscriberQueue.isEmpty()) {
                     timestamps.addLast(now);
-                    Consumer<ThrottleResult> nextSubscriber = subscriberQueue.pollFirst();
-                    if (nextSubscriber != null) {
-                        nextSubscriber.accept(ThrottleResult.PROCEED);
-                    }
+                    subscribersToNotify.add(subscriberQueue.pollFirst());
                 }
             } finally {
                 lock.unlock();
             }
+            // callbacks run outside the lock so a slow subscriber does not block shouldProceed
+            subscribersToNotify.forEach(subscriber -> subscriber.accept(ThrottleResult.PROCEED));
         }, 0, 10, TimeUnit.MILLISECONDS);
     }
 }
@@ -0,0 +1,152 @@
+package eventbus;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+
+class AnnotatedSubscribersTest {
+
+    @Test
+    void givenAnnotatedListenerWhenPublishEventShouldInvokeTheMatchingMethods() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        var listener = new RecordingListener();
+        eventBus.addSubscribers(listener);
+
+        // when
+        eventBus.publishEvent("hello");
+        eventBus.publishEvent(42);
+
+        // then
+        assertThat(listener.received).containsExactly("string hello", "integer 42");
+    }
+
+    @Test
+    void givenSeveralInstancesOfSameListenerWhenPublishEventShouldInvokeEachInstance() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        var listener1 = new RecordingListener();
+        var listener2 = new RecordingListener();
+        eventBus.addSubscribers(listener1);
+        eventBus.addSubscribers(listener2);
+
+        // when
+        eventBus.publishEvent("hello");
+
+        // then
+        assertThat(listener1.received).containsExactly("string hello");
+        assertThat(listener2.received).containsExactly("string hello");
+    }
+
+    @Test
+    void givenInheritedAndOverriddenMethodsWhenPublishEventShouldInvokeEachSubscriptionOnce() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        var listener = new OverridingListener();
+        eventBus.addSubscribers(listener);
+
+        // when
+        eventBus.publishEvent("hello");
+        eventBus.publishEvent(42);
+
+        // then
+        assertThat(listener.received).containsExactly("overridden hello", "integer 42");
+    }
+
+    @Test
+    void givenListenerWithoutAnnotatedMethodWhenAddSubscribersShouldThrowException() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+
+        // expect
+        thenThrownBy(() -> eventBus.addSubscribers(new Object()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No @Subscribe method found on class java.lang.Object");
+    }
+
+    @Test
+    void givenInvalidAnnotatedMethodWhenAddSubscribersShouldThrowException() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+
+        // expect
+        thenThrownBy(() -> eventBus.addSubscribers(new InvalidListener()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("@Subscribe method must have exactly one parameter");
+    }
+
+    @Test
+    void givenPrivateSuperclassMethodWithSameSignatureWhenPublishEventShouldInvokeBoth() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        var listener = new ShadowingListener();
+        eventBus.addSubscribers(listener);
+
+        // when
+        eventBus.publishEvent(42);
+
+        // then
+        assertThat(listener.received).containsExactlyInAnyOrder("shadowing 42", "integer 42");
+    }
+
+    @Test
+    void givenInterfaceParameterWhenAddSubscribersShouldThrowException() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+
+        // expect
+        thenThrownBy(() -> eventBus.addSubscribers(new InterfaceParameterListener()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("@Subscribe method parameter must be a concrete class");
+    }
+
+    private static class RecordingListener {
+        final List<String> received = new ArrayList<>();
+
+        @Subscribe
+        void onString(String event) {
+            received.add("string " + event);
+        }
+
+        @Subscribe
+        private void onInteger(Integer event) {
+            received.add("integer " + event);
+        }
+    }
+
+    private static class OverridingListener extends RecordingListener {
+
+        @Subscribe
+        @Override
+        void onString(String event) {
+            received.add("overridden " + event);
+        }
+    }
+
+    private static class ShadowingListener extends RecordingListener {
+
+        @Subscribe
+        private void onInteger(Integer event) {
+            received.add("shadowing " + event);
+        }
+    }
+
+    private static class InterfaceParameterListener {
+
+        @Subscribe
+        void onCharSequence(CharSequence event) {
+        }
+    }
+
+    private static class InvalidListener {
+
+        @Subscribe
+        void onTwoEvents(String first, String second) {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package eventbus;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+import static org.awaitility.Awaitility.await;
+
+
+class DelayedEventPublisherTest {
+
+    private DelayedEventPublisher publisher;
+
+    @AfterEach
+    void closePublisher() {
+        publisher.close();
+    }
+
+    @Test
+    void givenADelayWhenPublishEventAfterShouldPublishOnceDelayElapsed() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        List<String> received = new CopyOnWriteArrayList<>();
+        eventBus.addSubscriber(String.class, received::add);
+        publisher = new DelayedEventPublisher(eventBus, 10, 8);
+        long start = System.nanoTime();
+
+        // when
+        var scheduledEvent = publisher.publishEventAfter("timeout", 200, TimeUnit.MILLISECONDS);
+
+        // then
+        await().atMost(ofSeconds(2)).until(() -> received.contains("timeout"));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(200);
+        assertThat(scheduledEvent.isPublished()).isTrue();
+    }
+
+    @Test
+    void givenSeveralDeadlinesWhenPublishEventAtShouldPublishInDeadlineOrder() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        List<String> received = new CopyOnWriteArrayList<>();
+        eventBus.addSubscriber(String.class, received::add);
+        publisher = new DelayedEventPublisher(eventBus, 10, 4);
+        long now = System.currentTimeMillis();
+
+        // when
+        publisher.publishEventAt("third", now + 300);
+        publisher.publishEventAt("first", now + 50);
+        publisher.publishEventAt("second", now + 150);
+
+        // then
+        await().atMost(ofSeconds(2)).until(() -> received.size() == 3);
+        assertThat(received).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void givenACancelledEventWhenDeadlinePassesShouldNotPublishIt() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        List<String> received = new CopyOnWriteArrayList<>();
+        eventBus.addSubscriber(String.class, received::add);
+        publisher = new DelayedEventPublisher(eventBus, 10, 8);
+
+        // when
+        var cancelled = publisher.publishEventAfter("cancelled", 100, TimeUnit.MILLISECONDS);
+        publisher.publishEventAfter("kept", 150, TimeUnit.MILLISECONDS);
+
+        // then
+        assertThat(cancelled.cancel()).isTrue();
+        await().pollDelay(ofMillis(300)).atMost(ofSeconds(2)).until(() -> received.contains("kept"));
+        assertThat(received).containsExactly("kept");
+        assertThat(cancelled.cancel()).isFalse();
+    }
+
+    @Test
+    void givenHugeDelaysWhenPublishShouldNotPublishImmediately() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        List<String> received = new CopyOnWriteArrayList<>();
+        eventBus.addSubscriber(String.class, received::add);
+        publisher = new DelayedEventPublisher(eventBus, 10, 8);
+
+        // when
+        var farAfter = publisher.publishEventAfter("far after", Long.MAX_VALUE, TimeUnit.DAYS);
+        var farAt = publisher.publishEventAt("far at", Long.MAX_VALUE);
+        publisher.publishEventAfter("soon", 50, TimeUnit.MILLISECONDS);
+
+        // then
+        await().pollDelay(ofMillis(200)).atMost(ofSeconds(2)).until(() -> received.contains("soon"));
+        assertThat(received).containsExactly("soon");
+        assertThat(farAfter.isPublished()).isFalse();
+        assertThat(farAt.isPublished()).isFalse();
+    }
+
+    @Test
+    void givenClosedPublisherWhenPublishShouldThrowAndNotPublishPendingEvents() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        List<String> received = new CopyOnWriteArrayList<>();
+        eventBus.addSubscriber(String.class, received::add);
+        publisher = new DelayedEventPublisher(eventBus, 10, 8);
+        var pending = publisher.publishEventAfter("pending", 100, TimeUnit.MILLISECONDS);
+
+        // when
+        publisher.close();
+
+        // then
+        thenThrownBy(() -> publisher.publishEventAfter("late", 10, TimeUnit.MILLISECONDS))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("DelayedEventPublisher is closed");
+        await().pollDelay(ofMillis(300)).until(() -> received.isEmpty());
+        assertThat(pending.isPublished()).isFalse();
+    }
+}
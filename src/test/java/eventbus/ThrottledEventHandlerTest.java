@@ -0,0 +1,167 @@
+package eventbus;
+
+import org.junit.jupiter.api.Test;
+import throttler.AdaptiveConcurrencyThrottler;
+import throttler.RollingWindowBasedThrottler;
+import throttler.Throttler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+
+class ThrottledEventHandlerTest {
+
+    @Test
+    void givenThrottlerAllowingEventsWhenPublishEventShouldDeliverImmediately() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        var throttler = new ManualThrottler(Throttler.ThrottleResult.PROCEED);
+        List<String> received = new ArrayList<>();
+        eventBus.addThrottledSubscriber(String.class, received::add, throttler);
+
+        // when
+        eventBus.publishEvent("1");
+        eventBus.publishEvent("2");
+
+        // then
+        assertThat(received).containsExactly("1", "2");
+        assertThat(throttler.callbacks).isEmpty();
+    }
+
+    @Test
+    void givenConflatingSubscriberOverTheRateWhenThrottlerNotifiesShouldDeliverOnlyLatestEvent() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        var throttler = new ManualThrottler(Throttler.ThrottleResult.DO_NOT_PROCEED);
+        List<String> received = new ArrayList<>();
+        eventBus.addSubscriber(String.class, ThrottledEventHandler.conflating(received::add, throttler, Runnable::run));
+
+        // when
+        eventBus.publishEvent("1");
+        eventBus.publishEvent("2");
+        eventBus.publishEvent("3");
+
+        // then
+        assertThat(received).isEmpty();
+        assertThat(throttler.callbacks).hasSize(1);
+        throttler.grant();
+        assertThat(received).containsExactly("3");
+        assertThat(throttler.callbacks).isEmpty();
+    }
+
+    @Test
+    void givenQueueingSubscriberOverTheRateWhenThrottlerNotifiesShouldDeliverQueuedEventsWithinBound() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        var throttler = new ManualThrottler(Throttler.ThrottleResult.DO_NOT_PROCEED);
+        List<String> received = new ArrayList<>();
+        eventBus.addSubscriber(String.class, ThrottledEventHandler.queueing(received::add, throttler, Runnable::run, 2));
+
+        // when
+        eventBus.publishEvent("1");
+        eventBus.publishEvent("2");
+        eventBus.publishEvent("3");
+
+        // then
+        throttler.grant();
+        assertThat(received).containsExactly("2");
+        throttler.grant();
+        assertThat(received).containsExactly("2", "3");
+        assertThat(throttler.callbacks).isEmpty();
+    }
+
+    @Test
+    void givenBacklogOverRollingWindowThrottlerWhenPermitsFreeUpShouldDrainAtTheThrottlerRate() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        var throttler = new RollingWindowBasedThrottler(1000, 1000);
+        List<String> received = new CopyOnWriteArrayList<>();
+        eventBus.addThrottledSubscriber(String.class, received::add, throttler, 1000);
+
+        // when
+        for (int i = 0; i < 1500; i++) {
+            eventBus.publishEvent(String.valueOf(i));
+        }
+
+        // then
+        assertThat(received).hasSizeLessThan(1500);
+        await().atMost(ofMillis(2500)).until(() -> received.size() == 1500);
+        assertThat(received.getLast()).isEqualTo("1499");
+    }
+
+    @Test
+    void givenBacklogWhenThrottlerNotifiesShouldNotDeliverOnTheThrottlerThread() {
+        // given
+        EventBus eventBus = new SingleThreadedEventBus();
+        var throttler = new ManualThrottler(Throttler.ThrottleResult.DO_NOT_PROCEED);
+        List<Thread> deliveryThreads = new CopyOnWriteArrayList<>();
+        eventBus.addThrottledSubscriber(String.class, _ -> deliveryThreads.add(Thread.currentThread()), throttler);
+        eventBus.publishEvent("1");
+
+        // when
+        throttler.grant();
+
+        // then
+        await().atMost(ofSeconds(2)).until(() -> deliveryThreads.size() == 1);
+        assertThat(deliveryThreads.getFirst()).isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void givenConcurrencyLimitingThrottlerWhenEventsAreHandledShouldReleaseEverySlot() {
+        // given
+        EventBus eventBus = new MultiThreadedEventBus(10);
+        var throttler = new AdaptiveConcurrencyThrottler(3, 1, 10);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        eventBus.addThrottledSubscriber(Integer.class, event -> {
+            sleep(20);
+            received.add(event);
+        }, throttler, 100);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            eventBus.publishEvent(i);
+        }
+
+        // then
+        await().atMost(ofSeconds(2)).until(() -> received.size() == 10);
+        await().atMost(ofSeconds(1)).until(() -> throttler.getInFlight() == 0);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class ManualThrottler implements Throttler {
+        private final ThrottleResult pollResult;
+        private final List<Consumer<ThrottleResult>> callbacks = new ArrayList<>();
+
+        ManualThrottler(ThrottleResult pollResult) {
+            this.pollResult = pollResult;
+        }
+
+        @Override
+        public ThrottleResult shouldProceed() {
+            return pollResult;
+        }
+
+        @Override
+        public void notifyWhenCanProceed(Consumer<ThrottleResult> callback) {
+            callbacks.add(callback);
+        }
+
+        void grant() {
+            callbacks.removeFirst().accept(ThrottleResult.PROCEED);
+        }
+    }
+}
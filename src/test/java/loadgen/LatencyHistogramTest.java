@@ -0,0 +1,48 @@
+package loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+class LatencyHistogramTest {
+
+    @Test
+    void givenNoValuesWhenGetPercentileShouldReturnZero() {
+        // given
+        var histogram = new LatencyHistogram();
+
+        // expect
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+    }
+
+    @Test
+    void givenUniformValuesWhenGetPercentilesShouldBeWithinBucketPrecision() {
+        // given
+        var histogram = new LatencyHistogram();
+
+        // when
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        // then
+        assertThat(histogram.getTotalCount()).isEqualTo(100_000);
+        assertThat(histogram.getValueAtPercentile(50)).isCloseTo(50_000L, withinPercentage(7));
+        assertThat(histogram.getValueAtPercentile(99)).isCloseTo(99_000L, withinPercentage(7));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100_000);
+        assertThat(histogram.getMaxValue()).isEqualTo(100_000);
+    }
+
+    @Test
+    void givenAnyValueWhenIndexedShouldFallWithinItsBucketBounds() {
+        // expect
+        for (long value : new long[]{0, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.upperBoundOf(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.upperBoundOf(index - 1)).isLessThan(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+class LoadGeneratorTest {
+
+    @Test
+    void givenMultiThreadedBusWhenRunShouldHandleEveryPublishedEvent() {
+        // given
+        var config = LoadGeneratorConfig.parse(new String[]{"--bus=multi", "--threads=2", "--rate=2000", "--duration=500"});
+
+        // when
+        var report = new LoadGenerator(config).run();
+
+        // then
+        assertThat(report.published()).isBetween(800L, 1200L);
+        assertThat(report.rejected()).isZero();
+        assertThat(report.handled()).isEqualTo(report.published());
+        assertThat(report.latencies().getTotalCount()).isEqualTo(report.handled());
+    }
+
+    @Test
+    void givenThrottlerWhenRunShouldRejectEventsOverTheLimit() {
+        // given
+        var config = LoadGeneratorConfig.parse(new String[]{"--bus=single", "--rate=2000", "--duration=500", "--throttle=100"});
+
+        // when
+        var report = new LoadGenerator(config).run();
+
+        // then
+        assertThat(report.published()).isBetween(1L, 100L);
+        assertThat(report.rejected()).isPositive();
+        assertThat(report.handled()).isEqualTo(report.published());
+    }
+
+    @Test
+    void givenConflatingBusWhenRunShouldNotReportConflatedEventsAsInFlight() {
+        // given
+        var config = LoadGeneratorConfig.parse(new String[]{"--bus=conflation", "--threads=2", "--rate=5000", "--duration=300"});
+
+        // when
+        var report = new LoadGenerator(config).run();
+
+        // then
+        assertThat(report.conflatingBus()).isTrue();
+        assertThat(report.maxInFlight()).isZero();
+        assertThat(report.handled()).isPositive();
+    }
+
+    @Test
+    void givenInvalidArgumentsWhenParseShouldThrowException() {
+        // expect
+        thenThrownBy(() -> LoadGeneratorConfig.parse(new String[]{"--rate=0"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("rate must be positive");
+        thenThrownBy(() -> LoadGeneratorConfig.parse(new String[]{"--duration=0"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("duration must be positive");
+        thenThrownBy(() -> LoadGeneratorConfig.parse(new String[]{"--interarrival=0:1"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("interarrival values must be positive");
+    }
+
+    @Test
+    void givenTinyInterArrivalWhenRunShouldStopAtTheEndOfTheDuration() {
+        // given
+        var config = LoadGeneratorConfig.parse(new String[]{"--bus=single", "--rate=1000000000", "--duration=300", "--interarrival=1:1"});
+
+        // when
+        long start = System.nanoTime();
+        new LoadGenerator(config).run();
+
+        // then
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(3));
+    }
+}
@@ -0,0 +1,96 @@
+package probability;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+class PrefixSumProbabilisticRandomGenTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void givenCsvFileWhenLoopingNextSamplesShouldReturnTheCorrectProbabilities() throws IOException {
+        // given
+        Path csv = tempDir.resolve("weights.csv");
+        Files.writeString(csv, "# number,weight\n1,1\n2,3\n\n3,6\n4,0\n");
+        var probabilisticRandomGen = new PrefixSumProbabilisticRandomGenBuilder().addCsv(csv).build();
+        int samples = 1_000_000;
+        Map<Integer, Integer> frequencyMap = new HashMap<>();
+
+        // when
+        for (int i = 0; i < samples; i++) {
+            int result = probabilisticRandomGen.nextFromSample();
+            frequencyMap.put(result, frequencyMap.getOrDefault(result, 0) + 1);
+        }
+
+        // then
+        double tolerance = 0.01;
+        assertThat(frequencyMap.get(1) / (double) samples).isCloseTo(0.1, within(tolerance));
+        assertThat(frequencyMap.get(2) / (double) samples).isCloseTo(0.3, within(tolerance));
+        assertThat(frequencyMap.get(3) / (double) samples).isCloseTo(0.6, within(tolerance));
+        assertThat(frequencyMap).doesNotContainKey(4);
+    }
+
+    @Test
+    void givenBinaryFileWhenBuildShouldComputeProbabilitiesInDoublePrecision() throws IOException {
+        // given
+        Path binary = tempDir.resolve("weights.bin");
+        int count = 100_000;
+        try (var output = new DataOutputStream(Files.newOutputStream(binary))) {
+            for (int i = 0; i < count; i++) {
+                output.writeInt(i);
+                output.writeDouble(1.0);
+            }
+        }
+
+        // when
+        var probabilisticRandomGen = new PrefixSumProbabilisticRandomGenBuilder().addBinary(binary).build();
+
+        // then
+        assertThat(probabilisticRandomGen.size()).isEqualTo(count);
+        assertThat(probabilisticRandomGen.numberAt(count - 1)).isEqualTo(count - 1);
+        assertThat(probabilisticRandomGen.probabilityOf(count - 1)).isCloseTo(1.0 / count, within(1e-12));
+    }
+
+    @Test
+    void givenBuiltSamplerWhenSaveAndLoadShouldKeepTheSameDistribution() {
+        // given
+        var probabilisticRandomGen = new PrefixSumProbabilisticRandomGenBuilder()
+                .add(7, 0.25)
+                .add(8, 0.75)
+                .build();
+        Path file = tempDir.resolve("sampler.bin");
+
+        // when
+        probabilisticRandomGen.save(file);
+        var loaded = PrefixSumProbabilisticRandomGen.load(file);
+
+        // then
+        assertThat(loaded.size()).isEqualTo(2);
+        assertThat(loaded.numberAt(0)).isEqualTo(7);
+        assertThat(loaded.probabilityOf(0)).isEqualTo(0.25);
+        assertThat(loaded.probabilityOf(1)).isEqualTo(0.75);
+    }
+
+    @Test
+    void givenNegativeWeightWhenBuildShouldThrowException() {
+        // given
+        var builder = new PrefixSumProbabilisticRandomGenBuilder().add(1, 1).add(2, -1);
+
+        // expect
+        thenThrownBy(builder::build)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Weights must be finite and non negative");
+    }
+}
@@ -0,0 +1,146 @@
+package throttler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+import static throttler.Throttler.ThrottleResult.DO_NOT_PROCEED;
+import static throttler.Throttler.ThrottleResult.PROCEED;
+
+class AdaptiveConcurrencyThrottlerTest {
+
+    @Test
+    void givenLimitReached_WhenPoll_ThenShouldNotProceed() {
+        // given
+        var throttler = new AdaptiveConcurrencyThrottler(2, 1, 10);
+
+        // expect
+        assertThat(throttler.shouldProceed()).isEqualTo(PROCEED);
+        assertThat(throttler.shouldProceed()).isEqualTo(PROCEED);
+        assertThat(throttler.shouldProceed()).isEqualTo(DO_NOT_PROCEED);
+    }
+
+    @Test
+    void givenFastCompletionsAtFullUsage_WhenOnSuccess_ThenLimitIncreases() {
+        // given
+        var throttler = new AdaptiveConcurrencyThrottler(2, 1, 10);
+        throttler.shouldProceed();
+        throttler.shouldProceed();
+
+        // when
+        throttler.onSuccess(1_000);
+
+        // then
+        assertThat(throttler.getLimit()).isEqualTo(3);
+        assertThat(throttler.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void givenSlowCompletion_WhenOnSuccess_ThenLimitDecreases() {
+        // given
+        var throttler = new AdaptiveConcurrencyThrottler(10, 1, 20, 0.5, 2.0);
+        throttler.shouldProceed();
+        throttler.shouldProceed();
+        throttler.onSuccess(1_000);
+
+        // when
+        throttler.onSuccess(5_000);
+
+        // then
+        assertThat(throttler.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void givenBurstOfSlowCompletionsInTheSameRoundTrip_WhenOnSuccess_ThenLimitDecreasesOnlyOnce() {
+        // given
+        var throttler = new AdaptiveConcurrencyThrottler(100, 1, 200, 0.9, 2.0);
+        for (int i = 0; i < 100; i++) {
+            throttler.shouldProceed();
+        }
+        throttler.onSuccess(1_000);
+
+        // when
+        for (int i = 0; i < 99; i++) {
+            throttler.onSuccess(5_000);
+        }
+
+        // then
+        assertThat(throttler.getLimit()).isEqualTo(90);
+    }
+
+    @Test
+    void givenErrors_WhenOnError_ThenLimitNeverGoesBelowMinimum() {
+        // given
+        var throttler = new AdaptiveConcurrencyThrottler(4, 2, 10, 0.5, 2.0);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            throttler.shouldProceed();
+            throttler.onError();
+        }
+
+        // then
+        assertThat(throttler.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void givenOneUnusuallyFastCompletion_WhenSteadyLatencyFollows_ThenLimitRecovers() {
+        // given
+        var throttler = new AdaptiveConcurrencyThrottler(10, 1, 20);
+        throttler.shouldProceed();
+        throttler.onSuccess(1_000);
+
+        // when
+        for (int i = 0; i < 1_000; i++) {
+            int acquired = 0;
+            while (throttler.shouldProceed() == PROCEED) {
+                acquired++;
+            }
+            for (int j = 0; j < acquired; j++) {
+                throttler.onSuccess(3_000);
+            }
+        }
+
+        // then
+        assertThat(throttler.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void givenNoMatchingProceed_WhenOnSuccess_ThenShouldThrowAndKeepInFlightAtZero() {
+        // given
+        var throttler = new AdaptiveConcurrencyThrottler(2, 1, 10);
+
+        // expect
+        thenThrownBy(() -> throttler.onSuccess(1_000)).isInstanceOf(IllegalStateException.class);
+        thenThrownBy(throttler::onError).isInstanceOf(IllegalStateException.class);
+        assertThat(throttler.getInFlight()).isZero();
+        assertThat(throttler.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void givenLatencyToleranceNotAboveOne_WhenCreate_ThenShouldThrow() {
+        // expect
+        thenThrownBy(() -> new AdaptiveConcurrencyThrottler(2, 1, 10, 0.9, 1.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Latency tolerance must be greater than 1");
+    }
+
+    @Test
+    void givenLimitReached_WhenPush_ThenShouldProceedOnCompletion() {
+        // given
+        var throttler = new AdaptiveConcurrencyThrottler(1, 1, 10);
+        AtomicInteger counter = new AtomicInteger();
+        throttler.shouldProceed();
+
+        // when
+        throttler.notifyWhenCanProceed(_ -> counter.getAndIncrement());
+
+        // then
+        assertThat(counter).hasValue(0);
+        throttler.onSuccess(1_000);
+        assertThat(counter).hasValue(1);
+    }
+
+}
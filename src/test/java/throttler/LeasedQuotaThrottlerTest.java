@@ -0,0 +1,171 @@
+package throttler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static throttler.Throttler.ThrottleResult.DO_NOT_PROCEED;
+import static throttler.Throttler.ThrottleResult.PROCEED;
+
+class LeasedQuotaThrottlerTest {
+
+    @Test
+    void givenLeasedPermits_WhenPoll_ThenAllAreAllowed() {
+        // given
+        var coordinator = new LocalQuotaCoordinator(10, 60_000);
+        var throttler = new LeasedQuotaThrottler(coordinator, 3, 10, 60_000);
+
+        // expect
+        assertThat(throttler.shouldProceed()).isEqualTo(PROCEED);
+        assertThat(throttler.shouldProceed()).isEqualTo(PROCEED);
+        assertThat(throttler.shouldProceed()).isEqualTo(PROCEED);
+    }
+
+    @Test
+    void givenSeveralNodesSharingACoordinator_WhenPoll_ThenGlobalLimitIsEnforced() throws InterruptedException {
+        // given
+        var coordinator = new LocalQuotaCoordinator(10, 60_000);
+        var node1 = new LeasedQuotaThrottler(coordinator, 4, 10, 60_000);
+        var node2 = new LeasedQuotaThrottler(coordinator, 4, 10, 60_000);
+        var node3 = new LeasedQuotaThrottler(coordinator, 4, 10, 60_000);
+        AtomicInteger proceeded = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            for (Throttler node : new Throttler[]{node1, node2, node3}) {
+                if (node.shouldProceed() == PROCEED) {
+                    proceeded.getAndIncrement();
+                }
+            }
+            Thread.sleep(10);
+        }
+
+        // then
+        assertThat(proceeded).hasValue(10);
+        assertThat(node1.shouldProceed()).isEqualTo(DO_NOT_PROCEED);
+    }
+
+    @Test
+    void givenHighDemand_WhenLeaseIsRenewed_ThenLeaseSizeGrows() {
+        // given
+        var coordinator = new LocalQuotaCoordinator(1_000, 60_000);
+        var throttler = new LeasedQuotaThrottler(coordinator, 1, 100, 50);
+
+        // when
+        for (int i = 0; i < 200; i++) {
+            throttler.shouldProceed();
+        }
+
+        // then
+        await().atMost(Duration.ofSeconds(2)).until(() -> throttler.getLeaseSize() > 1);
+    }
+
+    @Test
+    void givenExhaustedGlobalQuota_WhenPoll_ThenCoordinatorIsNotCalledOnEveryRefusal() {
+        // given
+        AtomicInteger leaseCalls = new AtomicInteger();
+        QuotaCoordinator exhaustedCoordinator = requestedPermits -> {
+            leaseCalls.getAndIncrement();
+            return new QuotaCoordinator.Lease(0, System.currentTimeMillis() + 60_000);
+        };
+        var throttler = new LeasedQuotaThrottler(exhaustedCoordinator, 10, 10, 60_000);
+
+        // when
+        long end = System.currentTimeMillis() + 200;
+        while (System.currentTimeMillis() < end) {
+            assertThat(throttler.shouldProceed()).isEqualTo(DO_NOT_PROCEED);
+        }
+
+        // then
+        assertThat(leaseCalls).hasValueLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void givenUnusedPermits_WhenLeaseExpires_ThenTheyAreNotSpentInTheNextWindow() throws InterruptedException {
+        // given
+        var coordinator = new LocalQuotaCoordinator(5, 300);
+        var throttler = new LeasedQuotaThrottler(coordinator, 5, 5, 60_000);
+        AtomicInteger proceeded = new AtomicInteger();
+        assertThat(throttler.shouldProceed()).isEqualTo(PROCEED);
+        assertThat(throttler.shouldProceed()).isEqualTo(PROCEED);
+
+        // when
+        Thread.sleep(350);
+        long end = System.currentTimeMillis() + 100;
+        while (System.currentTimeMillis() < end) {
+            if (throttler.shouldProceed() == PROCEED) {
+                proceeded.getAndIncrement();
+            }
+        }
+
+        // then
+        assertThat(proceeded).hasValue(5);
+    }
+
+    @Test
+    void givenCoordinatorWithPerLeaseTtl_WhenLeaseIsRenewed_ThenUnexpiredLeftoversAreKept() {
+        // given
+        AtomicInteger leaseCalls = new AtomicInteger();
+        AtomicInteger grantedPermits = new AtomicInteger();
+        QuotaCoordinator perLeaseTtlCoordinator = requestedPermits -> {
+            int granted = leaseCalls.getAndIncrement() < 2 ? requestedPermits : 0;
+            grantedPermits.addAndGet(granted);
+            return new QuotaCoordinator.Lease(granted, System.currentTimeMillis() + 60_000 + leaseCalls.get());
+        };
+        var throttler = new LeasedQuotaThrottler(perLeaseTtlCoordinator, 10, 10, 60_000);
+        AtomicInteger proceeded = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 8; i++) {
+            if (throttler.shouldProceed() == PROCEED) {
+                proceeded.getAndIncrement();
+            }
+        }
+        await().atMost(Duration.ofSeconds(2)).until(() -> {
+            while (throttler.shouldProceed() == PROCEED) {
+                proceeded.getAndIncrement();
+            }
+            return proceeded.get() >= 18;
+        });
+
+        // then
+        assertThat(grantedPermits).hasValue(18);
+        assertThat(proceeded).hasValue(18);
+    }
+
+    @Test
+    void givenExpiredLease_WhenPush_ThenShouldProceedOnceTheCoordinatorWindowRolls() {
+        // given
+        var coordinator = new LocalQuotaCoordinator(2, 200);
+        var throttler = new LeasedQuotaThrottler(coordinator, 2, 2, 60_000);
+        AtomicInteger counter = new AtomicInteger();
+        throttler.shouldProceed();
+        throttler.shouldProceed();
+
+        // when
+        throttler.notifyWhenCanProceed(_ -> counter.getAndIncrement());
+
+        // then
+        await().atMost(Duration.ofMillis(800)).until(() -> counter.get() == 1);
+    }
+
+    @Test
+    void givenPermitsAvailable_WhenPush_ThenShouldProceed() {
+        // given
+        var coordinator = new LocalQuotaCoordinator(1, 60_000);
+        var throttler = new LeasedQuotaThrottler(coordinator, 1, 1, 60_000);
+        AtomicInteger counter = new AtomicInteger();
+
+        // when
+        throttler.notifyWhenCanProceed(_ -> counter.getAndIncrement());
+        throttler.notifyWhenCanProceed(_ -> counter.getAndIncrement());
+
+        // then
+        await().atMost(Duration.ofSeconds(2)).until(() -> counter.get() == 1);
+        await().pollDelay(Duration.ofMillis(500)).until(() -> counter.get() == 1);
+    }
+
+}
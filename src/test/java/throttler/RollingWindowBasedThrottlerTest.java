@@ -64,5 +64,36 @@ class RollingWindowBasedThrottlerTest {
 
     }
 
+    @Test
+    void givenIdleThrottler_WhenPollAfterAWhile_ThenAllPermitsAreStillAvailable() throws InterruptedException {
+        // given
+        var rollingWindowBasedThrottler = new RollingWindowBasedThrottler(10, 1000);
+
+        // when
+        Thread.sleep(200);
+
+        // then
+        for (int i = 0; i < 10; i++) {
+            assertThat(rollingWindowBasedThrottler.shouldProceed()).isEqualTo(PROCEED);
+        }
+        assertThat(rollingWindowBasedThrottler.shouldProceed()).isEqualTo(DO_NOT_PROCEED);
+    }
+
+    @Test
+    void givenSeveralPushSubscribersWithinLimit_WhenPush_ThenAllAreNotifiedWithoutExtraPermitsTaken() throws InterruptedException {
+        // given
+        var rollingWindowBasedThrottler = new RollingWindowBasedThrottler(3, 1000);
+        AtomicInteger counter = new AtomicInteger();
+
+        // when
+        rollingWindowBasedThrottler.notifyWhenCanProceed(_ -> counter.getAndIncrement());
+        rollingWindowBasedThrottler.notifyWhenCanProceed(_ -> counter.getAndIncrement());
+
+        // then
+        await().atMost(Duration.ofSeconds(1)).until(() -> counter.get() == 2);
+        Thread.sleep(100);
+        assertThat(rollingWindowBasedThrottler.shouldProceed()).isEqualTo(PROCEED);
+        assertThat(rollingWindowBasedThrottler.shouldProceed()).isEqualTo(DO_NOT_PROCEED);
+    }
 
-}
\ No newline at end of file
+}